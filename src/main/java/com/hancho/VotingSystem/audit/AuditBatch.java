@@ -0,0 +1,107 @@
+package com.hancho.VotingSystem.audit;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "audit_batches")
+public class AuditBatch implements Persistable<Long> {
+
+  @Id private Long sequence;
+
+  @Column(name = "merkle_root", nullable = false, length = 64)
+  private String merkleRoot;
+
+  @Column(name = "previous_hash", nullable = false, length = 64)
+  private String previousHash;
+
+  @Column(name = "chain_hash", nullable = false, length = 64, unique = true)
+  private String chainHash;
+
+  @Column(name = "leaf_count", nullable = false)
+  private int leafCount;
+
+  @Column(name = "sealed_at")
+  private LocalDateTime sealedAt;
+
+  // Sequences are assigned by the sealer, so force an INSERT: a sequence that already exists must
+  // fail rather than be merged over an existing batch.
+  @Transient private boolean isNew = true;
+
+  public AuditBatch() {}
+
+  public AuditBatch(
+      Long sequence, String merkleRoot, String previousHash, String chainHash, int leafCount) {
+    this.sequence = sequence;
+    this.merkleRoot = merkleRoot;
+    this.previousHash = previousHash;
+    this.chainHash = chainHash;
+    this.leafCount = leafCount;
+    this.sealedAt = LocalDateTime.now();
+  }
+
+  @Override
+  public Long getId() {
+    return sequence;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  public Long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(Long sequence) {
+    this.sequence = sequence;
+  }
+
+  public String getMerkleRoot() {
+    return merkleRoot;
+  }
+
+  public void setMerkleRoot(String merkleRoot) {
+    this.merkleRoot = merkleRoot;
+  }
+
+  public String getPreviousHash() {
+    return previousHash;
+  }
+
+  public void setPreviousHash(String previousHash) {
+    this.previousHash = previousHash;
+  }
+
+  public String getChainHash() {
+    return chainHash;
+  }
+
+  public void setChainHash(String chainHash) {
+    this.chainHash = chainHash;
+  }
+
+  public int getLeafCount() {
+    return leafCount;
+  }
+
+  public void setLeafCount(int leafCount) {
+    this.leafCount = leafCount;
+  }
+
+  public LocalDateTime getSealedAt() {
+    return sealedAt;
+  }
+
+  public void setSealedAt(LocalDateTime sealedAt) {
+    this.sealedAt = sealedAt;
+  }
+}
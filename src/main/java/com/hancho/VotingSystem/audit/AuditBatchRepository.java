@@ -0,0 +1,15 @@
+package com.hancho.VotingSystem.audit;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditBatchRepository extends JpaRepository<AuditBatch, Long> {
+  Optional<AuditBatch> findTopByOrderBySequenceDesc();
+
+  List<AuditBatch> findBySequenceGreaterThanEqualOrderBySequenceAsc(
+      Long sequence, Pageable pageable);
+}
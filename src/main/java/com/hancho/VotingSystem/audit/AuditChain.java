@@ -0,0 +1,47 @@
+package com.hancho.VotingSystem.audit;
+
+import com.hancho.VotingSystem.audit.dtos.AuditedVote;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/** Hashing rules shared by the batch writer and the verifier. */
+public final class AuditChain {
+
+  public static final String GENESIS = "0".repeat(64);
+
+  private static final byte LEAF_PREFIX = 0x00;
+  private static final byte CHAIN_PREFIX = 0x02;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private AuditChain() {}
+
+  public static byte[] leafHash(AuditedVote vote) {
+    return leafHash(MerkleTree.sha256(), vote);
+  }
+
+  static byte[] leafHash(MessageDigest digest, AuditedVote vote) {
+    digest.update(LEAF_PREFIX);
+    digest.update(vote.canonical().getBytes(StandardCharsets.UTF_8));
+    return digest.digest();
+  }
+
+  /** Links a batch root to the previous batch: H(0x02 || sequence || previousHash || root). */
+  public static String chainHash(long sequence, String previousHash, String merkleRoot) {
+    MessageDigest digest = MerkleTree.sha256();
+    digest.update(CHAIN_PREFIX);
+    digest.update(ByteBuffer.allocate(Long.BYTES).putLong(sequence).array());
+    digest.update(HEX.parseHex(previousHash));
+    digest.update(HEX.parseHex(merkleRoot));
+    return HEX.formatHex(digest.digest());
+  }
+
+  public static String hex(byte[] bytes) {
+    return HEX.formatHex(bytes);
+  }
+
+  public static byte[] unhex(String hex) {
+    return HEX.parseHex(hex);
+  }
+}
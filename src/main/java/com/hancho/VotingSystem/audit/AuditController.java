@@ -0,0 +1,60 @@
+package com.hancho.VotingSystem.audit;
+
+import com.hancho.VotingSystem.audit.dtos.AuditedVote;
+import com.hancho.VotingSystem.audit.dtos.PollVerification;
+import com.hancho.VotingSystem.audit.dtos.VoteReceipt;
+import com.hancho.VotingSystem.audit.dtos.VoteVerification;
+import com.hancho.VotingSystem.user.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+  private final VoteAuditService auditService;
+  private final UserService userService;
+  private final VerificationRateLimiter rateLimiter;
+
+  public AuditController(
+      VoteAuditService auditService,
+      UserService userService,
+      VerificationRateLimiter rateLimiter) {
+    this.auditService = auditService;
+    this.userService = userService;
+    this.rateLimiter = rateLimiter;
+  }
+
+  // The voter id always comes from the token, so a caller can only ever check their own ballot.
+  @PostMapping("/votes/verify")
+  public ResponseEntity<VoteVerification> verifyVote(
+      @RequestBody VoteReceipt receipt, Authentication authentication) {
+    if (!rateLimiter.tryAcquire(authentication.getName())) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+    }
+    return userService
+        .getUserByEmail(authentication.getName())
+        .map(
+            user ->
+                auditService.verifyVote(
+                    new AuditedVote(
+                        receipt.pollId(),
+                        user.getId(),
+                        receipt.choice(),
+                        receipt.castAt(),
+                        receipt.receipt())))
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  @GetMapping("/polls/{pollId}/verify")
+  public ResponseEntity<PollVerification> verifyPoll(
+      @PathVariable Long pollId, Authentication authentication) {
+    if (!rateLimiter.tryAcquire(authentication.getName())) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+    }
+    return ResponseEntity.ok(auditService.verifyPoll(pollId));
+  }
+}
@@ -0,0 +1,83 @@
+package com.hancho.VotingSystem.audit;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(
+    name = "audit_entries",
+    indexes = {
+      @Index(name = "idx_audit_entries_leaf_hash", columnList = "leaf_hash"),
+      @Index(name = "idx_audit_entries_poll_id", columnList = "poll_id"),
+      @Index(name = "idx_audit_entries_batch", columnList = "batch_sequence, leaf_index")
+    })
+public class AuditEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_entries_seq")
+  @SequenceGenerator(
+      name = "audit_entries_seq",
+      sequenceName = "audit_entries_seq",
+      allocationSize = 500)
+  private Long id;
+
+  @Column(name = "batch_sequence", nullable = false)
+  private Long batchSequence;
+
+  @Column(name = "leaf_index", nullable = false)
+  private int leafIndex;
+
+  @Column(name = "poll_id", nullable = false)
+  private Long pollId;
+
+  @Column(name = "leaf_hash", nullable = false, length = 64)
+  private String leafHash;
+
+  public AuditEntry() {}
+
+  public AuditEntry(Long batchSequence, int leafIndex, Long pollId, String leafHash) {
+    this.batchSequence = batchSequence;
+    this.leafIndex = leafIndex;
+    this.pollId = pollId;
+    this.leafHash = leafHash;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getBatchSequence() {
+    return batchSequence;
+  }
+
+  public void setBatchSequence(Long batchSequence) {
+    this.batchSequence = batchSequence;
+  }
+
+  public int getLeafIndex() {
+    return leafIndex;
+  }
+
+  public void setLeafIndex(int leafIndex) {
+    this.leafIndex = leafIndex;
+  }
+
+  public Long getPollId() {
+    return pollId;
+  }
+
+  public void setPollId(Long pollId) {
+    this.pollId = pollId;
+  }
+
+  public String getLeafHash() {
+    return leafHash;
+  }
+
+  public void setLeafHash(String leafHash) {
+    this.leafHash = leafHash;
+  }
+}
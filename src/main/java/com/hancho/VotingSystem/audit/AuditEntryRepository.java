@@ -0,0 +1,15 @@
+package com.hancho.VotingSystem.audit;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+  Optional<AuditEntry> findFirstByLeafHash(String leafHash);
+
+  List<AuditEntry> findByBatchSequenceOrderByLeafIndexAsc(Long batchSequence);
+
+  List<AuditEntry> findByPollId(Long pollId);
+}
@@ -0,0 +1,100 @@
+package com.hancho.VotingSystem.audit;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary SHA-256 Merkle tree over pre-hashed leaves.
+ *
+ * <p>Interior nodes are hashed with a 0x01 prefix (leaves use 0x00, see {@link AuditChain}) so a
+ * leaf can never be passed off as an interior node. An odd node at the end of a level is promoted
+ * unchanged instead of being paired with itself, which avoids the duplicate-leaf ambiguity.
+ */
+public final class MerkleTree {
+
+  private static final byte NODE_PREFIX = 0x01;
+
+  private final List<byte[][]> levels;
+
+  private MerkleTree(List<byte[][]> levels) {
+    this.levels = levels;
+  }
+
+  public static MerkleTree build(List<byte[]> leafHashes) {
+    if (leafHashes.isEmpty()) {
+      throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+    }
+
+    MessageDigest digest = sha256();
+    List<byte[][]> levels = new ArrayList<>();
+    byte[][] level = leafHashes.toArray(new byte[0][]);
+    levels.add(level);
+
+    while (level.length > 1) {
+      byte[][] parent = new byte[(level.length + 1) / 2][];
+      for (int i = 0; i < parent.length; i++) {
+        int left = i * 2;
+        parent[i] =
+            left + 1 < level.length ? node(digest, level[left], level[left + 1]) : level[left];
+      }
+      levels.add(parent);
+      level = parent;
+    }
+
+    return new MerkleTree(levels);
+  }
+
+  public byte[] root() {
+    return levels.get(levels.size() - 1)[0];
+  }
+
+  public int size() {
+    return levels.get(0).length;
+  }
+
+  public List<ProofStep> proof(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IllegalArgumentException("Leaf index out of range: " + index);
+    }
+
+    List<ProofStep> proof = new ArrayList<>();
+    for (int depth = 0; depth < levels.size() - 1; depth++) {
+      byte[][] level = levels.get(depth);
+      int sibling = index ^ 1;
+      if (sibling < level.length) {
+        proof.add(new ProofStep(level[sibling], sibling < index));
+      }
+      index /= 2;
+    }
+    return proof;
+  }
+
+  public static boolean verify(byte[] leafHash, List<ProofStep> proof, byte[] root) {
+    MessageDigest digest = sha256();
+    byte[] current = leafHash;
+    for (ProofStep step : proof) {
+      current =
+          step.left() ? node(digest, step.sibling(), current) : node(digest, current, step.sibling());
+    }
+    return MessageDigest.isEqual(current, root);
+  }
+
+  private static byte[] node(MessageDigest digest, byte[] left, byte[] right) {
+    digest.update(NODE_PREFIX);
+    digest.update(left);
+    digest.update(right);
+    return digest.digest();
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  public record ProofStep(byte[] sibling, boolean left) {}
+}
@@ -0,0 +1,35 @@
+package com.hancho.VotingSystem.audit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps verification requests per caller in fixed one-minute windows. Counts are dropped whenever
+ * the window rolls over, so the map never holds more than one minute's callers.
+ */
+@Component
+public class VerificationRateLimiter {
+
+  private static final long WINDOW_MILLIS = 60_000;
+
+  private final int perMinute;
+  private final ConcurrentHashMap<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+  private final AtomicLong window = new AtomicLong();
+
+  public VerificationRateLimiter(@Value("${audit.verify-per-minute:30}") int perMinute) {
+    this.perMinute = perMinute;
+  }
+
+  public boolean tryAcquire(String caller) {
+    long current = System.currentTimeMillis() / WINDOW_MILLIS;
+    long seen = window.get();
+    if (current != seen && window.compareAndSet(seen, current)) {
+      counts.clear();
+    }
+    return counts.computeIfAbsent(caller, key -> new AtomicInteger()).incrementAndGet()
+        <= perMinute;
+  }
+}
@@ -0,0 +1,412 @@
+package com.hancho.VotingSystem.audit;
+
+import com.hancho.VotingSystem.audit.dtos.AuditedVote;
+import com.hancho.VotingSystem.audit.dtos.PollVerification;
+import com.hancho.VotingSystem.audit.dtos.VoteVerification;
+import com.hancho.VotingSystem.poll.dtos.PollClosedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tamper-evident vote log. {@link #record} only enqueues, so the vote path never hashes or touches
+ * the database; a single background thread drains the queue into Merkle batches, chains each root
+ * to the previous batch and persists batch and leaves in one transaction.
+ *
+ * <p>The queue is capped at {@code audit.max-pending} votes so a database outage cannot exhaust the
+ * heap; past that, {@link #record} refuses the vote instead of dropping it silently.
+ *
+ * <p>A second thread keeps checkpoints: the chain hash of every batch whose sequence is a multiple
+ * of {@code audit.checkpoint-interval}, recorded once the chain from genesis to the head verifies.
+ * Verification walks forward from a vote's batch only as far as the next checkpoint, a page at a
+ * time, instead of loading everything up to the head.
+ */
+@Service
+public class VoteAuditService {
+
+  private static final Logger logger = LoggerFactory.getLogger(VoteAuditService.class);
+  private static final int RECEIPT_BYTES = 16;
+  private static final int WALK_PAGE_SIZE = 500;
+
+  private final AuditBatchRepository batchRepository;
+  private final AuditEntryRepository entryRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  private final ConcurrentLinkedQueue<AuditedVote> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final SecureRandom random = new SecureRandom();
+  private final Counter rejected;
+  private final ScheduledExecutorService sealer =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "vote-audit-sealer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final ConcurrentSkipListMap<Long, String> checkpoints = new ConcurrentSkipListMap<>();
+  private final ScheduledExecutorService checkpointer =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "vote-audit-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Value("${audit.batch-size:4096}")
+  private int batchSize;
+
+  @Value("${audit.flush-interval-ms:200}")
+  private long flushIntervalMs;
+
+  @Value("${audit.max-pending:1000000}")
+  private int maxPending;
+
+  @Value("${audit.checkpoint-interval:1000}")
+  private int checkpointInterval;
+
+  @Value("${audit.checkpoint-delay-ms:60000}")
+  private long checkpointDelayMs;
+
+  // Only touched by the sealer thread (and by shutdown() once the sealer has stopped).
+  private final List<AuditedVote> unsealed = new ArrayList<>();
+  private final MessageDigest digest = MerkleTree.sha256();
+  private long lastSequence;
+  private String lastChainHash;
+  private boolean headStale;
+
+  public VoteAuditService(
+      AuditBatchRepository batchRepository,
+      AuditEntryRepository entryRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry registry) {
+    this.batchRepository = batchRepository;
+    this.entryRepository = entryRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    Gauge.builder("audit.queue.pending", pending, AtomicInteger::get)
+        .description("Votes waiting to be sealed into an audit batch")
+        .register(registry);
+    this.rejected =
+        Counter.builder("audit.votes.rejected")
+            .description("Votes refused because the audit backlog was full")
+            .register(registry);
+  }
+
+  @PostConstruct
+  public void init() {
+    loadHead();
+    sealer.scheduleWithFixedDelay(
+        this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    checkpointer.scheduleWithFixedDelay(
+        this::extendCheckpoints, 0, checkpointDelayMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    checkpointer.shutdownNow();
+    sealer.shutdown();
+    try {
+      if (!sealer.awaitTermination(10, TimeUnit.SECONDS)) {
+        logger.warn("Vote audit sealer did not stop in time");
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    flush();
+  }
+
+  /**
+   * Queues a vote for sealing and returns the voter's receipt: a random nonce mixed into the leaf
+   * hash and stored nowhere else, so the ballot can only be looked up by someone holding it.
+   * Returns empty when the backlog is full; the caller must then refuse the vote rather than accept
+   * a ballot that will never be audited.
+   *
+   * <p>Nothing calls this yet: there is no vote submission endpoint. The vote handler (planned as
+   * {@code POST /api/votes}) must call it after the vote is stored and hand the receipt back to the
+   * voter in its response.
+   */
+  public Optional<String> record(Long pollId, Long voterId, String choice, LocalDateTime castAt) {
+    if (pending.incrementAndGet() > maxPending) {
+      pending.decrementAndGet();
+      rejected.increment();
+      return Optional.empty();
+    }
+    byte[] nonce = new byte[RECEIPT_BYTES];
+    random.nextBytes(nonce);
+    String receipt = AuditChain.hex(nonce);
+    queue.offer(new AuditedVote(pollId, voterId, choice, castAt, receipt));
+    return Optional.of(receipt);
+  }
+
+  public int pendingCount() {
+    return pending.get();
+  }
+
+  // Seal whatever is queued as soon as a poll closes instead of waiting for the next interval.
+  // Only the node whose close won gets the event; other nodes seal on their regular interval.
+  @TransactionalEventListener
+  public void onPollClosed(PollClosedEvent event) {
+    sealer.execute(this::flush);
+  }
+
+  // Must never throw: an exception escaping a scheduleWithFixedDelay task cancels every later run.
+  void flush() {
+    try {
+      while (sealNext()) {
+        // keep draining while batches come out full
+      }
+    } catch (Exception e) {
+      logger.error("Failed to seal audit batch, will retry: {}", e.getMessage(), e);
+      // Re-read the head before the next attempt: another node may have taken this sequence.
+      headStale = true;
+    }
+  }
+
+  private boolean sealNext() {
+    if (headStale) {
+      loadHead();
+      headStale = false;
+    }
+
+    while (unsealed.size() < batchSize) {
+      AuditedVote vote = queue.poll();
+      if (vote == null) {
+        break;
+      }
+      pending.decrementAndGet();
+      unsealed.add(vote);
+    }
+
+    if (unsealed.isEmpty()) {
+      return false;
+    }
+
+    List<byte[]> leaves = new ArrayList<>(unsealed.size());
+    for (AuditedVote vote : unsealed) {
+      leaves.add(AuditChain.leafHash(digest, vote));
+    }
+
+    long sequence = lastSequence + 1;
+    String root = AuditChain.hex(MerkleTree.build(leaves).root());
+    String chainHash = AuditChain.chainHash(sequence, lastChainHash, root);
+
+    AuditBatch batch = new AuditBatch(sequence, root, lastChainHash, chainHash, leaves.size());
+    List<AuditEntry> entries = new ArrayList<>(leaves.size());
+    for (int i = 0; i < leaves.size(); i++) {
+      entries.add(
+          new AuditEntry(sequence, i, unsealed.get(i).pollId(), AuditChain.hex(leaves.get(i))));
+    }
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          batchRepository.save(batch);
+          entryRepository.saveAll(entries);
+        });
+
+    lastSequence = sequence;
+    lastChainHash = chainHash;
+    boolean full = unsealed.size() >= batchSize;
+    unsealed.clear();
+
+    logger.debug("Sealed audit batch {} with {} votes", sequence, leaves.size());
+    return full;
+  }
+
+  private void loadHead() {
+    Optional<AuditBatch> head = batchRepository.findTopByOrderBySequenceDesc();
+    lastSequence = head.map(AuditBatch::getSequence).orElse(0L);
+    lastChainHash = head.map(AuditBatch::getChainHash).orElse(AuditChain.GENESIS);
+  }
+
+  public VoteVerification verifyVote(AuditedVote vote) {
+    byte[] leafHash = AuditChain.leafHash(vote);
+    Optional<AuditEntry> found = entryRepository.findFirstByLeafHash(AuditChain.hex(leafHash));
+    if (found.isEmpty()) {
+      return VoteVerification.notFound();
+    }
+
+    AuditEntry entry = found.get();
+    Optional<AuditBatch> batch = batchRepository.findById(entry.getBatchSequence());
+    if (batch.isEmpty()) {
+      return new VoteVerification(
+          false, entry.getBatchSequence(), entry.getLeafIndex(), null, false);
+    }
+
+    List<byte[]> leaves = leavesOf(entry.getBatchSequence());
+    int index = entry.getLeafIndex();
+    boolean included =
+        index < leaves.size()
+            && Arrays.equals(leaves.get(index), leafHash)
+            && MerkleTree.verify(
+                leafHash,
+                MerkleTree.build(leaves).proof(index),
+                AuditChain.unhex(batch.get().getMerkleRoot()));
+
+    return new VoteVerification(
+        included,
+        entry.getBatchSequence(),
+        index,
+        batch.get().getMerkleRoot(),
+        chainFailures(entry.getBatchSequence()).isEmpty());
+  }
+
+  public PollVerification verifyPoll(Long pollId) {
+    List<AuditEntry> entries = entryRepository.findByPollId(pollId);
+    SortedSet<Long> sequences =
+        entries.stream()
+            .map(AuditEntry::getBatchSequence)
+            .collect(Collectors.toCollection(TreeSet::new));
+
+    List<String> failures = new ArrayList<>();
+    for (Long sequence : sequences) {
+      Optional<AuditBatch> batch = batchRepository.findById(sequence);
+      if (batch.isEmpty()) {
+        failures.add("Batch " + sequence + " is missing");
+        continue;
+      }
+
+      List<byte[]> leaves = leavesOf(sequence);
+      if (leaves.size() != batch.get().getLeafCount()) {
+        failures.add("Batch " + sequence + " leaf count mismatch");
+      } else if (!AuditChain.hex(MerkleTree.build(leaves).root())
+          .equals(batch.get().getMerkleRoot())) {
+        failures.add("Batch " + sequence + " Merkle root mismatch");
+      }
+    }
+
+    if (!sequences.isEmpty()) {
+      failures.addAll(chainFailures(sequences.first()));
+    }
+
+    return new PollVerification(
+        pollId, entries.size(), sequences.size(), failures.isEmpty(), failures);
+  }
+
+  private List<byte[]> leavesOf(Long sequence) {
+    return entryRepository.findByBatchSequenceOrderByLeafIndexAsc(sequence).stream()
+        .map(entry -> AuditChain.unhex(entry.getLeafHash()))
+        .toList();
+  }
+
+  // Walks every link from the batch up to the next checkpoint, or the head if there is none.
+  // Checking only a batch's own link is not enough: a batch rewritten with a consistent root and
+  // chain hash is caught only by its successor's previousHash or by a checkpoint on the batch.
+  private List<String> chainFailures(long fromSequence) {
+    List<String> failures = new ArrayList<>();
+    String previous =
+        fromSequence == 1
+            ? AuditChain.GENESIS
+            : batchRepository
+                .findById(fromSequence - 1)
+                .map(AuditBatch::getChainHash)
+                .orElse(null);
+    if (previous == null) {
+      failures.add("Batch " + (fromSequence - 1) + " is missing");
+    }
+
+    long expectedSequence = fromSequence;
+    List<AuditBatch> page;
+    do {
+      page =
+          batchRepository.findBySequenceGreaterThanEqualOrderBySequenceAsc(
+              expectedSequence, PageRequest.of(0, WALK_PAGE_SIZE));
+      for (AuditBatch batch : page) {
+        long sequence = batch.getSequence();
+        if (sequence != expectedSequence) {
+          failures.add("Batches " + expectedSequence + " to " + (sequence - 1) + " are missing");
+        }
+
+        String expected =
+            AuditChain.chainHash(sequence, batch.getPreviousHash(), batch.getMerkleRoot());
+        if (!expected.equals(batch.getChainHash())) {
+          failures.add("Batch " + sequence + " chain hash mismatch");
+        }
+        if (previous != null && !batch.getPreviousHash().equals(previous)) {
+          failures.add("Batch " + sequence + " does not link to batch " + (sequence - 1));
+        }
+
+        String checkpoint = checkpoints.get(sequence);
+        if (checkpoint != null) {
+          if (!checkpoint.equals(batch.getChainHash())) {
+            failures.add("Batch " + sequence + " does not match its checkpoint");
+          }
+          return failures;
+        }
+
+        previous = batch.getChainHash();
+        expectedSequence = sequence + 1;
+      }
+    } while (page.size() == WALK_PAGE_SIZE);
+    return failures;
+  }
+
+  // Follows the chain from the last checkpoint (or genesis) to the head and records every
+  // checkpointInterval-th batch, but only once the whole walk is intact: a consistently rewritten
+  // batch is betrayed only by a later link, so nothing before a break can be trusted either.
+  void extendCheckpoints() {
+    try {
+      Map<Long, String> found = new HashMap<>();
+      Map.Entry<Long, String> last = checkpoints.lastEntry();
+      long expectedSequence = last == null ? 1 : last.getKey() + 1;
+      String previous = last == null ? AuditChain.GENESIS : last.getValue();
+
+      List<AuditBatch> page;
+      do {
+        page =
+            batchRepository.findBySequenceGreaterThanEqualOrderBySequenceAsc(
+                expectedSequence, PageRequest.of(0, WALK_PAGE_SIZE));
+        for (AuditBatch batch : page) {
+          long sequence = batch.getSequence();
+          if (sequence != expectedSequence
+              || !batch.getPreviousHash().equals(previous)
+              || !AuditChain.chainHash(sequence, previous, batch.getMerkleRoot())
+                  .equals(batch.getChainHash())) {
+            logger.error(
+                "Audit chain does not verify at batch {}, no new checkpoints recorded",
+                expectedSequence);
+            return;
+          }
+          if (sequence % checkpointInterval == 0) {
+            found.put(sequence, batch.getChainHash());
+          }
+          previous = batch.getChainHash();
+          expectedSequence = sequence + 1;
+        }
+      } while (page.size() == WALK_PAGE_SIZE);
+      checkpoints.putAll(found);
+    } catch (Exception e) {
+      logger.error("Failed to extend audit checkpoints, will retry: {}", e.getMessage(), e);
+    }
+  }
+}
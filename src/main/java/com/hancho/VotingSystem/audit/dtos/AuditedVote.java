@@ -0,0 +1,15 @@
+package com.hancho.VotingSystem.audit.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sealed ballot. {@code receipt} is a random nonce handed only to the voter; it keeps the leaf
+ * hash from being matched against every possible choice.
+ */
+public record AuditedVote(
+    Long pollId, Long voterId, String choice, LocalDateTime castAt, String receipt) {
+
+  public String canonical() {
+    return pollId + "|" + voterId + "|" + choice + "|" + castAt + "|" + receipt;
+  }
+}
@@ -0,0 +1,6 @@
+package com.hancho.VotingSystem.audit.dtos;
+
+import java.util.List;
+
+public record PollVerification(
+    Long pollId, int votes, int batches, boolean valid, List<String> failures) {}
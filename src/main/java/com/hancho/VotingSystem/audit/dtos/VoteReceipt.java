@@ -0,0 +1,5 @@
+package com.hancho.VotingSystem.audit.dtos;
+
+import java.time.LocalDateTime;
+
+public record VoteReceipt(Long pollId, String choice, LocalDateTime castAt, String receipt) {}
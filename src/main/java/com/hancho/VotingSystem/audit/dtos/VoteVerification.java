@@ -0,0 +1,13 @@
+package com.hancho.VotingSystem.audit.dtos;
+
+public record VoteVerification(
+    boolean included,
+    Long batchSequence,
+    Integer leafIndex,
+    String merkleRoot,
+    boolean chainIntact) {
+
+  public static VoteVerification notFound() {
+    return new VoteVerification(false, null, null, null, false);
+  }
+}
@@ -0,0 +1,85 @@
+package com.hancho.VotingSystem.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the body up front so it can be fingerprinted and still be read by the handler. At most
+ * {@code maxBytes} are buffered; check {@link #isTooLarge()} before using the body.
+ */
+class CachedBodyRequest extends HttpServletRequestWrapper {
+
+  private final byte[] body;
+  private final boolean tooLarge;
+
+  CachedBodyRequest(HttpServletRequest request, int maxBytes) throws IOException {
+    super(request);
+    byte[] read = request.getInputStream().readNBytes(maxBytes + 1);
+    this.tooLarge = read.length > maxBytes;
+    this.body = tooLarge ? new byte[0] : read;
+  }
+
+  byte[] getBody() {
+    return body;
+  }
+
+  boolean isTooLarge() {
+    return tooLarge;
+  }
+
+  @Override
+  public ServletInputStream getInputStream() {
+    ByteArrayInputStream input = new ByteArrayInputStream(body);
+    return new ServletInputStream() {
+      @Override
+      public boolean isFinished() {
+        return input.available() == 0;
+      }
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      // The bytes are already in memory, so the listener can be driven to completion right away.
+      @Override
+      public void setReadListener(ReadListener listener) {
+        try {
+          if (!isFinished()) {
+            listener.onDataAvailable();
+          }
+          if (isFinished()) {
+            listener.onAllDataRead();
+          }
+        } catch (IOException e) {
+          listener.onError(e);
+        }
+      }
+
+      @Override
+      public int read() {
+        return input.read();
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) {
+        return input.read(b, off, len);
+      }
+    };
+  }
+
+  @Override
+  public BufferedReader getReader() {
+    String encoding = getCharacterEncoding();
+    Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+  }
+}
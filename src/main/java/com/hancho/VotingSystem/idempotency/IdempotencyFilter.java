@@ -0,0 +1,169 @@
+package com.hancho.VotingSystem.idempotency;
+
+import com.hancho.VotingSystem.idempotency.IdempotencyStore.Claim;
+import com.hancho.VotingSystem.idempotency.dtos.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Honors the {@code Idempotency-Key} header on POSTs to {@code idempotency.paths}. Keys are scoped
+ * to the caller, path and key, and bound to a hash of the request body: a retry gets the first
+ * response back with {@code Idempotency-Replayed: true} instead of re-running the handler, and
+ * reusing a key with a different body is rejected.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyStore store;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+  @Value("${idempotency.paths:/auth/google}")
+  private String[] paths;
+
+  @Value("${idempotency.persistent-paths:}")
+  private String[] persistentPaths;
+
+  @Value("${idempotency.max-body-bytes:65536}")
+  private int maxBodyBytes;
+
+  public IdempotencyFilter(IdempotencyStore store) {
+    this.store = store;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"POST".equals(request.getMethod())
+        || request.getHeader(HEADER) == null
+        || !matches(paths, request.getRequestURI());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+
+    String key = request.getHeader(HEADER).trim();
+    if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+      response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + HEADER + " header");
+      return;
+    }
+
+    if (request.getContentLengthLong() > maxBodyBytes) {
+      response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large");
+      return;
+    }
+
+    CachedBodyRequest cachedRequest = new CachedBodyRequest(request, maxBodyBytes);
+    if (cachedRequest.isTooLarge()) {
+      response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large");
+      return;
+    }
+
+    String scopedKey = caller() + " " + request.getRequestURI() + " " + key;
+    String fingerprint = IdempotencyStore.sha256Hex(cachedRequest.getBody());
+    boolean persistent = matches(persistentPaths, request.getRequestURI());
+
+    Claim claim = store.claim(scopedKey, fingerprint, persistent);
+    switch (claim.outcome()) {
+      case REPLAY -> {
+        logger.debug("Replaying stored response for {}", request.getRequestURI());
+        replay(claim.response(), response);
+      }
+      case CONFLICT ->
+          response.sendError(
+              HttpStatus.UNPROCESSABLE_ENTITY.value(),
+              HEADER + " was already used with a different request");
+      case IN_PROGRESS ->
+          response.sendError(
+              HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is in progress");
+      case BYPASS -> filterChain.doFilter(cachedRequest, response);
+      case EXECUTE -> execute(cachedRequest, response, filterChain, scopedKey, persistent);
+    }
+  }
+
+  private void execute(
+      CachedBodyRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain,
+      String scopedKey,
+      boolean persistent)
+      throws ServletException, IOException {
+
+    ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+    try {
+      filterChain.doFilter(request, cachedResponse);
+    } catch (ServletException | IOException | RuntimeException e) {
+      store.abandon(scopedKey);
+      throw e;
+    }
+
+    int status = cachedResponse.getStatus();
+    if (isReplayable(status, cachedResponse.getContentSize())) {
+      store.complete(
+          scopedKey,
+          new StoredResponse(
+              status, cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()),
+          persistent);
+    } else {
+      store.abandon(scopedKey);
+    }
+    cachedResponse.copyBodyToResponse();
+  }
+
+  // Server errors and throttling are transient, so the client's retry should run again. An empty
+  // error body means sendError() was used and the container renders the page after this filter
+  // returns, so storing it would replay a different body than the original got.
+  private boolean isReplayable(int status, int contentSize) {
+    return status < 500
+        && status != HttpStatus.CONFLICT.value()
+        && status != HttpStatus.TOO_MANY_REQUESTS.value()
+        && !(status >= 400 && contentSize == 0);
+  }
+
+  private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+    response.setStatus(stored.status());
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    response.setHeader(REPLAYED_HEADER, "true");
+    if (stored.body() != null) {
+      response.setContentLength(stored.body().length);
+      response.getOutputStream().write(stored.body());
+    }
+  }
+
+  private String caller() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null && authentication.isAuthenticated()
+        ? authentication.getName()
+        : "anonymous";
+  }
+
+  private boolean matches(String[] patterns, String uri) {
+    for (String pattern : patterns) {
+      if (!pattern.isBlank() && pathMatcher.match(pattern.trim(), uri)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,90 @@
+package com.hancho.VotingSystem.idempotency;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "idempotency_records",
+    indexes = {@Index(name = "idx_idempotency_records_created_at", columnList = "created_at")})
+public class IdempotencyRecord {
+
+  @Id
+  @Column(name = "key_hash", length = 64)
+  private String keyHash;
+
+  @Column(nullable = false, length = 64)
+  private String fingerprint;
+
+  @Column(nullable = false)
+  private int status;
+
+  @Column(name = "content_type")
+  private String contentType;
+
+  @Column(name = "body")
+  private byte[] body;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  public IdempotencyRecord() {}
+
+  public IdempotencyRecord(
+      String keyHash, String fingerprint, int status, String contentType, byte[] body) {
+    this.keyHash = keyHash;
+    this.fingerprint = fingerprint;
+    this.status = status;
+    this.contentType = contentType;
+    this.body = body;
+    this.createdAt = LocalDateTime.now();
+  }
+
+  public String getKeyHash() {
+    return keyHash;
+  }
+
+  public void setKeyHash(String keyHash) {
+    this.keyHash = keyHash;
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  public void setFingerprint(String fingerprint) {
+    this.fingerprint = fingerprint;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public void setContentType(String contentType) {
+    this.contentType = contentType;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  public void setBody(byte[] body) {
+    this.body = body;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+}
@@ -0,0 +1,337 @@
+package com.hancho.VotingSystem.idempotency;
+
+import com.hancho.VotingSystem.idempotency.dtos.StoredResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, time-windowed store of first responses keyed by idempotency key.
+ *
+ * <p>The first request for a key becomes the owner and executes; duplicates that arrive while it
+ * is in flight wait on its result, and later ones get the stored response back. Entries expire
+ * after {@code idempotency.ttl-seconds}; when the store is full the oldest completed entries are
+ * evicted early, and if everything is still in flight the request bypasses the store. Persistent
+ * keys are also written to the database so retries survive a restart. At most {@code
+ * idempotency.max-waiters} duplicates wait at once; the rest get IN_PROGRESS straight away.
+ */
+@Component
+public class IdempotencyStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+  private static final HexFormat HEX = HexFormat.of();
+
+  public enum Outcome {
+    EXECUTE,
+    REPLAY,
+    CONFLICT,
+    IN_PROGRESS,
+    BYPASS
+  }
+
+  public record Claim(Outcome outcome, StoredResponse response) {}
+
+  private static final class Entry {
+    private final String key;
+    private final String fingerprint;
+    private final long createdAtMillis;
+    private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+    private Entry(String key, String fingerprint, long createdAtMillis) {
+      this.key = key;
+      this.fingerprint = fingerprint;
+      this.createdAtMillis = createdAtMillis;
+    }
+  }
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final IdempotencyRecordRepository repository;
+  private final ScheduledExecutorService purger =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Counter executed;
+  private final Counter replayed;
+  private final Counter conflicts;
+  private final Counter inProgress;
+  private final Counter bypassed;
+  private final Counter waits;
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  @Value("${idempotency.max-entries:10000}")
+  private int maxEntries;
+
+  @Value("${idempotency.ttl-seconds:600}")
+  private long ttlSeconds;
+
+  @Value("${idempotency.persistent-ttl-seconds:86400}")
+  private long persistentTtlSeconds;
+
+  @Value("${idempotency.wait-timeout-ms:10000}")
+  private long waitTimeoutMs;
+
+  @Value("${idempotency.max-waiters:32}")
+  private int maxWaiters;
+
+  public IdempotencyStore(IdempotencyRecordRepository repository, MeterRegistry registry) {
+    this.repository = repository;
+    this.executed = outcomeCounter(registry, "executed");
+    this.replayed = outcomeCounter(registry, "replayed");
+    this.conflicts = outcomeCounter(registry, "conflict");
+    this.inProgress = outcomeCounter(registry, "in_progress");
+    this.bypassed = outcomeCounter(registry, "bypassed");
+    this.waits =
+        Counter.builder("idempotency.waits")
+            .description("Duplicates that waited on an in-flight original")
+            .register(registry);
+
+    Gauge.builder("idempotency.store.entries", entries, ConcurrentHashMap::size)
+        .description("Keys currently held in memory")
+        .register(registry);
+    Gauge.builder("idempotency.store.occupancy", this, IdempotencyStore::occupancy)
+        .description("Fraction of idempotency.max-entries in use")
+        .register(registry);
+  }
+
+  private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("idempotency.requests")
+        .description("Requests carrying an Idempotency-Key, by outcome")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  @PostConstruct
+  public void init() {
+    purger.scheduleWithFixedDelay(this::purge, 60, 60, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    purger.shutdownNow();
+  }
+
+  public Claim claim(String key, String fingerprint, boolean persistent) {
+    while (true) {
+      long now = System.currentTimeMillis();
+      Entry fresh = new Entry(key, fingerprint, now);
+      Entry existing = entries.putIfAbsent(key, fresh);
+
+      if (existing == null) {
+        insertionOrder.offer(fresh);
+        if (entries.size() > maxEntries && !makeRoom(now)) {
+          release(fresh);
+          bypassed.increment();
+          return new Claim(Outcome.BYPASS, null);
+        }
+        return persistent ? claimPersisted(fresh) : owner();
+      }
+
+      if (isExpired(existing, now) && existing.result.isDone()) {
+        entries.remove(key, existing);
+        continue;
+      }
+
+      if (!existing.fingerprint.equals(fingerprint)) {
+        conflicts.increment();
+        return new Claim(Outcome.CONFLICT, null);
+      }
+
+      // Each waiter holds a servlet thread, so past the cap a duplicate is told to retry later.
+      boolean waiting = !existing.result.isDone();
+      if (waiting && !startWaiting()) {
+        inProgress.increment();
+        return new Claim(Outcome.IN_PROGRESS, null);
+      }
+
+      StoredResponse response;
+      try {
+        response = existing.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        inProgress.increment();
+        return new Claim(Outcome.IN_PROGRESS, null);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        inProgress.increment();
+        return new Claim(Outcome.IN_PROGRESS, null);
+      } catch (ExecutionException e) {
+        continue;
+      } finally {
+        if (waiting) {
+          waiters.decrementAndGet();
+        }
+      }
+
+      // A null result means the original was abandoned; race to become the new owner.
+      if (response != null) {
+        replayed.increment();
+        return new Claim(Outcome.REPLAY, response);
+      }
+    }
+  }
+
+  public void complete(String key, StoredResponse response, boolean persistent) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return;
+    }
+
+    if (persistent) {
+      try {
+        repository.save(
+            new IdempotencyRecord(
+                hashKey(key),
+                entry.fingerprint,
+                response.status(),
+                response.contentType(),
+                response.body()));
+      } catch (Exception e) {
+        logger.error("Failed to persist idempotent response: {}", e.getMessage(), e);
+      }
+    }
+
+    entry.result.complete(response);
+  }
+
+  public void abandon(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null && !entry.result.isDone()) {
+      release(entry);
+    }
+  }
+
+  private boolean startWaiting() {
+    if (waiters.incrementAndGet() > maxWaiters) {
+      waiters.decrementAndGet();
+      return false;
+    }
+    waits.increment();
+    return true;
+  }
+
+  private Claim owner() {
+    executed.increment();
+    return new Claim(Outcome.EXECUTE, null);
+  }
+
+  private Claim claimPersisted(Entry fresh) {
+    Optional<IdempotencyRecord> stored;
+    try {
+      stored = repository.findById(hashKey(fresh.key));
+    } catch (Exception e) {
+      logger.error("Failed to read idempotency record: {}", e.getMessage(), e);
+      return owner();
+    }
+
+    LocalDateTime cutoff = LocalDateTime.now().minusSeconds(persistentTtlSeconds);
+    if (stored.isEmpty() || stored.get().getCreatedAt().isBefore(cutoff)) {
+      return owner();
+    }
+
+    IdempotencyRecord record = stored.get();
+    if (!record.getFingerprint().equals(fresh.fingerprint)) {
+      release(fresh);
+      conflicts.increment();
+      return new Claim(Outcome.CONFLICT, null);
+    }
+
+    StoredResponse response =
+        new StoredResponse(record.getStatus(), record.getContentType(), record.getBody());
+    fresh.result.complete(response);
+    replayed.increment();
+    return new Claim(Outcome.REPLAY, response);
+  }
+
+  private void release(Entry entry) {
+    entries.remove(entry.key, entry);
+    entry.result.complete(null);
+  }
+
+  private boolean isExpired(Entry entry, long now) {
+    return now - entry.createdAtMillis >= TimeUnit.SECONDS.toMillis(ttlSeconds);
+  }
+
+  private boolean makeRoom(long now) {
+    purgeExpired(now);
+    if (entries.size() <= maxEntries) {
+      return true;
+    }
+
+    // Insertion order is creation order, so the first completed entry found is the oldest.
+    Iterator<Entry> iterator = insertionOrder.iterator();
+    while (iterator.hasNext() && entries.size() > maxEntries) {
+      Entry entry = iterator.next();
+      if (entries.get(entry.key) != entry) {
+        iterator.remove();
+      } else if (entry.result.isDone()) {
+        entries.remove(entry.key, entry);
+        iterator.remove();
+      }
+    }
+    return entries.size() <= maxEntries;
+  }
+
+  private void purgeExpired(long now) {
+    Entry head;
+    while ((head = insertionOrder.peek()) != null) {
+      if (entries.get(head.key) == head) {
+        if (!isExpired(head, now) || !head.result.isDone()) {
+          return;
+        }
+        entries.remove(head.key, head);
+      }
+      insertionOrder.remove(head);
+    }
+  }
+
+  private void purge() {
+    try {
+      purgeExpired(System.currentTimeMillis());
+      repository.deleteCreatedBefore(LocalDateTime.now().minusSeconds(persistentTtlSeconds));
+    } catch (Exception e) {
+      logger.error("Failed to purge idempotency records: {}", e.getMessage(), e);
+    }
+  }
+
+  private double occupancy() {
+    return maxEntries == 0 ? 0 : (double) entries.size() / maxEntries;
+  }
+
+  static String sha256Hex(byte[] bytes) {
+    try {
+      return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static String hashKey(String key) {
+    return sha256Hex(key.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,3 @@
+package com.hancho.VotingSystem.idempotency.dtos;
+
+public record StoredResponse(int status, String contentType, byte[] body) {}
@@ -0,0 +1,187 @@
+package com.hancho.VotingSystem.poll;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fires poll open/close transitions from an in-memory {@link TimerWheel} instead of polling the
+ * database. Pending polls are loaded once at startup and new ones are added with {@link
+ * #schedule}; a single driver thread owns the wheel and hands due transitions to a small pool.
+ */
+@Component
+public class PollLifecycleScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(PollLifecycleScheduler.class);
+  private static final long RETRY_BASE_DELAY_MS = 1000;
+  private static final long RETRY_MAX_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+  private static final long MAX_PARK_MS = TimeUnit.MINUTES.toMillis(1);
+
+  enum Kind {
+    OPEN,
+    CLOSE
+  }
+
+  record Transition(Long pollId, Kind kind, LocalDateTime at, long fireAtMillis, int attempt) {}
+
+  private final PollsRepository repository;
+  private final PollLifecycleService lifecycleService;
+  private final ConcurrentLinkedQueue<Transition> pending = new ConcurrentLinkedQueue<>();
+  private final ExecutorService dispatcher;
+
+  @Value("${polls.timer-tick-ms:10}")
+  private long tickMillis;
+
+  private volatile boolean running;
+  private volatile Thread driver;
+  private TimerWheel<Transition> wheel;
+
+  public PollLifecycleScheduler(
+      PollsRepository repository,
+      PollLifecycleService lifecycleService,
+      @Value("${polls.transition-threads:2}") int transitionThreads) {
+    this.repository = repository;
+    this.lifecycleService = lifecycleService;
+
+    AtomicInteger threadCount = new AtomicInteger();
+    this.dispatcher =
+        Executors.newFixedThreadPool(
+            transitionThreads,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "poll-transition-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    wheel = new TimerWheel<>(tickMillis, System.currentTimeMillis());
+    running = true;
+
+    Thread thread = new Thread(this::run, "poll-timer-wheel");
+    thread.setDaemon(true);
+    driver = thread;
+    thread.start();
+
+    List<Polls> polls = repository.findByStatusIn(List.of(PollStatus.SCHEDULED, PollStatus.OPEN));
+    polls.forEach(this::schedule);
+    logger.info("Scheduled lifecycle transitions for {} polls", polls.size());
+  }
+
+  // Stop the driver before the pool so it never hands a transition to a shut-down executor.
+  @PreDestroy
+  public void stop() {
+    running = false;
+    Thread thread = driver;
+    try {
+      if (thread != null) {
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+      }
+      dispatcher.shutdown();
+      if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+        logger.warn("Poll transitions still running at shutdown");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      dispatcher.shutdownNow();
+    }
+  }
+
+  /** Queues the poll's pending transitions; safe to call from any thread. */
+  public void schedule(Polls poll) {
+    if (poll.getStatus() == PollStatus.SCHEDULED && poll.getOpensAt() != null) {
+      enqueue(transition(poll.getId(), Kind.OPEN, poll.getOpensAt()));
+    }
+    if (poll.getStatus() != PollStatus.CLOSED && poll.getClosesAt() != null) {
+      enqueue(transition(poll.getId(), Kind.CLOSE, poll.getClosesAt()));
+    }
+  }
+
+  private static Transition transition(Long pollId, Kind kind, LocalDateTime at) {
+    long fireAtMillis = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    return new Transition(pollId, kind, at, fireAtMillis, 0);
+  }
+
+  private void enqueue(Transition transition) {
+    pending.offer(transition);
+    LockSupport.unpark(driver);
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        Transition transition;
+        while ((transition = pending.poll()) != null) {
+          wheel.schedule(transition.fireAtMillis(), transition);
+        }
+
+        for (Transition due : wheel.advance(System.currentTimeMillis())) {
+          if (!running) {
+            return;
+          }
+          dispatcher.execute(() -> fire(due));
+        }
+
+        // Sleep until the wheel has something to do; enqueue() unparks early for new transitions.
+        // The cap bounds how late a wall-clock jump can make a deadline hours away.
+        long sleepMillis =
+            Math.min(wheel.nextEventMillis() - System.currentTimeMillis(), MAX_PARK_MS);
+        if (sleepMillis > 0) {
+          LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(sleepMillis));
+        }
+      } catch (Exception e) {
+        logger.error("Poll timer wheel error: {}", e.getMessage(), e);
+      }
+    }
+  }
+
+  private void fire(Transition transition) {
+    try {
+      if (transition.kind() == Kind.OPEN) {
+        lifecycleService.open(transition.pollId(), transition.at());
+      } else {
+        lifecycleService.close(transition.pollId(), transition.at());
+      }
+    } catch (Exception e) {
+      long delayMillis = retryDelayMillis(transition.attempt());
+      logger.error(
+          "Failed to {} poll {}, retrying in {} ms: {}",
+          transition.kind(),
+          transition.pollId(),
+          delayMillis,
+          e.getMessage());
+      enqueue(
+          new Transition(
+              transition.pollId(),
+              transition.kind(),
+              transition.at(),
+              System.currentTimeMillis() + delayMillis,
+              transition.attempt() + 1));
+    }
+  }
+
+  // Exponential backoff capped at five minutes, with jitter so thousands of polls that failed
+  // together during a database outage don't all retry on the same tick.
+  static long retryDelayMillis(int attempt) {
+    long delay = RETRY_BASE_DELAY_MS << Math.min(attempt, 16);
+    delay = Math.min(delay, RETRY_MAX_DELAY_MS);
+    return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+}
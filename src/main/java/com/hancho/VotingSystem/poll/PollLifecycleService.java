@@ -0,0 +1,54 @@
+package com.hancho.VotingSystem.poll;
+
+import com.hancho.VotingSystem.poll.dtos.PollClosedEvent;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies open/close transitions as conditional updates. Every node fires the same timers, but
+ * only the node whose update matches a row performs the transition; the others see zero rows and
+ * do nothing, so each transition happens exactly once across the cluster.
+ */
+@Service
+public class PollLifecycleService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PollLifecycleService.class);
+
+  private final PollsRepository repository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public PollLifecycleService(
+      PollsRepository repository, ApplicationEventPublisher eventPublisher) {
+    this.repository = repository;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Transactional
+  public boolean open(Long pollId, LocalDateTime opensAt) {
+    boolean opened = repository.open(pollId, opensAt, PollStatus.SCHEDULED, PollStatus.OPEN) == 1;
+    if (opened) {
+      logger.info("Opened poll {}", pollId);
+    }
+    return opened;
+  }
+
+  /**
+   * Marks the poll CLOSED with {@code closedAt} set to its scheduled close time, not to whenever
+   * this node got round to it. Nothing in this tree checks the status yet: the vote endpoint that
+   * must refuse ballots for a closed poll does not exist. {@link PollClosedEvent} is published after
+   * commit on this node only, the one whose update won.
+   */
+  @Transactional
+  public boolean close(Long pollId, LocalDateTime closesAt) {
+    boolean closed = repository.close(pollId, closesAt, PollStatus.CLOSED) == 1;
+    if (closed) {
+      logger.info("Closed poll {}", pollId);
+      eventPublisher.publishEvent(new PollClosedEvent(pollId));
+    }
+    return closed;
+  }
+}
@@ -0,0 +1,7 @@
+package com.hancho.VotingSystem.poll;
+
+public enum PollStatus {
+  SCHEDULED,
+  OPEN,
+  CLOSED
+}
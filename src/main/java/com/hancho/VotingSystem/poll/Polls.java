@@ -0,0 +1,99 @@
+package com.hancho.VotingSystem.poll;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "polls",
+    indexes = {@Index(name = "idx_polls_status", columnList = "status")})
+public class Polls {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private PollStatus status = PollStatus.SCHEDULED;
+
+  @Column(name = "opens_at")
+  private LocalDateTime opensAt;
+
+  @Column(name = "closes_at")
+  private LocalDateTime closesAt;
+
+  @Column(name = "closed_at")
+  private LocalDateTime closedAt;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  public Polls() {}
+
+  public Polls(String title, LocalDateTime opensAt, LocalDateTime closesAt) {
+    this.title = title;
+    this.opensAt = opensAt;
+    this.closesAt = closesAt;
+    this.createdAt = LocalDateTime.now();
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public PollStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(PollStatus status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getOpensAt() {
+    return opensAt;
+  }
+
+  public void setOpensAt(LocalDateTime opensAt) {
+    this.opensAt = opensAt;
+  }
+
+  public LocalDateTime getClosesAt() {
+    return closesAt;
+  }
+
+  public void setClosesAt(LocalDateTime closesAt) {
+    this.closesAt = closesAt;
+  }
+
+  public LocalDateTime getClosedAt() {
+    return closedAt;
+  }
+
+  public void setClosedAt(LocalDateTime closedAt) {
+    this.closedAt = closedAt;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+}
@@ -0,0 +1,32 @@
+package com.hancho.VotingSystem.poll;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PollsRepository extends JpaRepository<Polls, Long> {
+  List<Polls> findByStatusIn(Collection<PollStatus> statuses);
+
+  @Modifying
+  @Query(
+      "update Polls p set p.status = :open"
+          + " where p.id = :id and p.status = :scheduled and p.opensAt <= :at")
+  int open(
+      @Param("id") Long id,
+      @Param("at") LocalDateTime at,
+      @Param("scheduled") PollStatus scheduled,
+      @Param("open") PollStatus open);
+
+  @Modifying
+  @Query(
+      "update Polls p set p.status = :closed, p.closedAt = p.closesAt"
+          + " where p.id = :id and p.status <> :closed and p.closesAt <= :at")
+  int close(
+      @Param("id") Long id, @Param("at") LocalDateTime at, @Param("closed") PollStatus closed);
+}
@@ -0,0 +1,186 @@
+package com.hancho.VotingSystem.poll;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck). Level 0 has 64 slots of one tick each and every
+ * level above covers 64 slots of the whole level below, so six levels span 64^6 ticks (about 21
+ * years at 10 ms); anything further out waits in an overflow list.
+ *
+ * <p>A timeout sits at the level of the highest base-64 digit in which its deadline tick differs
+ * from the current tick, in the slot named by that digit. When the current tick reaches that slot
+ * the bucket is cascaded into lower levels, so each timeout is touched at most once per level and
+ * fires on exactly the first tick at or after its deadline. Scheduling is O(1), and advancing jumps
+ * straight to the next occupied slot instead of stepping through empty ticks.
+ *
+ * <p>Not thread-safe: a single driver thread owns the wheel.
+ */
+public final class TimerWheel<T> {
+
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int MASK = WHEEL_SIZE - 1;
+  private static final int LEVELS = 6;
+
+  private static final class Timeout<T> {
+    private final long deadlineTick;
+    private final T task;
+    private Timeout<T> next;
+
+    private Timeout(long deadlineTick, T task) {
+      this.deadlineTick = deadlineTick;
+      this.task = task;
+    }
+  }
+
+  private final long tickMillis;
+  private final long startMillis;
+
+  @SuppressWarnings("unchecked")
+  private final Timeout<T>[][] slots = new Timeout[LEVELS][WHEEL_SIZE];
+
+  // Bit s of occupied[level] is set while slots[level][s] is non-empty. Every occupied slot lies
+  // ahead of the current digit at its level, so the lowest set bit is the next slot to be reached.
+  private final long[] occupied = new long[LEVELS];
+  private Timeout<T> overflow;
+  private final List<T> due = new ArrayList<>();
+  private long currentTick;
+  private int size;
+
+  public TimerWheel(long tickMillis, long startMillis) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick must be positive");
+    }
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+  }
+
+  /** Schedules {@code task}; a deadline that has already passed fires on the next advance. */
+  public void schedule(long deadlineMillis, T task) {
+    long deadlineTick = Math.max(0, Math.ceilDiv(deadlineMillis - startMillis, tickMillis));
+    size++;
+    place(new Timeout<>(deadlineTick, task));
+  }
+
+  /** Moves the wheel up to {@code nowMillis} and returns every task whose deadline has passed. */
+  public List<T> advance(long nowMillis) {
+    long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+    while (currentTick < targetTick) {
+      long nextTick = size == 0 ? Long.MAX_VALUE : nextEventTick();
+      if (nextTick > targetTick) {
+        currentTick = targetTick;
+        break;
+      }
+      currentTick = nextTick;
+      tick();
+    }
+
+    if (due.isEmpty()) {
+      return List.of();
+    }
+    List<T> fired = new ArrayList<>(due);
+    due.clear();
+    return fired;
+  }
+
+  /**
+   * Wall-clock time at which {@link #advance} next has work to do: a slot expiring or cascading, or
+   * now if an overdue task is waiting. {@code Long.MAX_VALUE} when the wheel is empty.
+   */
+  public long nextEventMillis() {
+    if (!due.isEmpty()) {
+      return startMillis + currentTick * tickMillis;
+    }
+    if (size == 0) {
+      return Long.MAX_VALUE;
+    }
+    long tick = nextEventTick();
+    if (tick > (Long.MAX_VALUE - startMillis) / tickMillis) {
+      return Long.MAX_VALUE;
+    }
+    return startMillis + tick * tickMillis;
+  }
+
+  /** Timeouts still waiting in the wheel. */
+  public int size() {
+    return size;
+  }
+
+  // First tick at which a slot expires or cascades: the lowest level holding anything decides,
+  // since each level's slots are all reached before the level above moves on.
+  private long nextEventTick() {
+    for (int level = 0; level < LEVELS; level++) {
+      if (occupied[level] != 0) {
+        int shift = level * WHEEL_BITS;
+        long slot = Long.numberOfTrailingZeros(occupied[level]);
+        return ((currentTick >>> (shift + WHEEL_BITS)) << (shift + WHEEL_BITS)) | (slot << shift);
+      }
+    }
+    int span = LEVELS * WHEEL_BITS;
+    return ((currentTick >>> span) + 1) << span;
+  }
+
+  // Processes currentTick; the caller has already moved it forward.
+  private void tick() {
+    // A level cascades when every digit below it has wrapped to zero. Cascade from the top down
+    // so entries pushed into a lower level's current slot are cascaded again on this same tick.
+    int top = 0;
+    while (top < LEVELS && (currentTick & ((1L << ((top + 1) * WHEEL_BITS)) - 1)) == 0) {
+      top++;
+    }
+
+    if (top == LEVELS) {
+      Timeout<T> chain = overflow;
+      overflow = null;
+      replace(chain);
+      top = LEVELS - 1;
+    }
+
+    for (int level = top; level >= 1; level--) {
+      int slot = (int) ((currentTick >>> (level * WHEEL_BITS)) & MASK);
+      Timeout<T> chain = slots[level][slot];
+      slots[level][slot] = null;
+      occupied[level] &= ~(1L << slot);
+      replace(chain);
+    }
+
+    int slot = (int) (currentTick & MASK);
+    Timeout<T> expired = slots[0][slot];
+    slots[0][slot] = null;
+    occupied[0] &= ~(1L << slot);
+    for (; expired != null; expired = expired.next) {
+      due.add(expired.task);
+      size--;
+    }
+  }
+
+  private void replace(Timeout<T> chain) {
+    while (chain != null) {
+      Timeout<T> next = chain.next;
+      chain.next = null;
+      place(chain);
+      chain = next;
+    }
+  }
+
+  private void place(Timeout<T> timeout) {
+    if (timeout.deadlineTick <= currentTick) {
+      due.add(timeout.task);
+      size--;
+      return;
+    }
+
+    int level = (63 - Long.numberOfLeadingZeros(timeout.deadlineTick ^ currentTick)) / WHEEL_BITS;
+    if (level >= LEVELS) {
+      timeout.next = overflow;
+      overflow = timeout;
+      return;
+    }
+
+    int slot = (int) ((timeout.deadlineTick >>> (level * WHEEL_BITS)) & MASK);
+    timeout.next = slots[level][slot];
+    slots[level][slot] = timeout;
+    occupied[level] |= 1L << slot;
+  }
+}
@@ -0,0 +1,3 @@
+package com.hancho.VotingSystem.poll.dtos;
+
+public record PollClosedEvent(Long pollId) {}
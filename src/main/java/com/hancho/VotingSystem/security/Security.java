@@ -1,6 +1,8 @@
 package com.hancho.VotingSystem.security;
 
+import com.hancho.VotingSystem.idempotency.IdempotencyFilter;
 import java.util.Arrays;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +13,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -21,9 +24,11 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class Security {
 
   private final JwtFilter jwtFilter;
+  private final IdempotencyFilter idempotencyFilter;
 
-  public Security(JwtFilter jwtFilter) {
+  public Security(JwtFilter jwtFilter, IdempotencyFilter idempotencyFilter) {
     this.jwtFilter = jwtFilter;
+    this.idempotencyFilter = idempotencyFilter;
   }
 
   @Bean
@@ -40,9 +45,20 @@ public class Security {
         .csrf(csrf -> csrf.disable())
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(idempotencyFilter, AuthorizationFilter.class)
         .build();
   }
 
+  // Runs inside the security chain so the caller is known and rejected requests are never stored;
+  // keep Boot from also registering it as a plain servlet filter ahead of security.
+  @Bean
+  public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(
+      IdempotencyFilter filter) {
+    FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.setEnabled(false);
+    return registration;
+  }
+
   @Bean
   public AuthenticationManager authenticationManager(AuthenticationConfiguration config)
       throws Exception {
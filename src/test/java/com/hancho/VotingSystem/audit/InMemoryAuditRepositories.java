@@ -0,0 +1,85 @@
+package com.hancho.VotingSystem.audit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+/** Map-backed answers for mocked audit repositories, covering the queries the service issues. */
+class InMemoryAuditRepositories {
+
+  final ConcurrentSkipListMap<Long, AuditBatch> batches = new ConcurrentSkipListMap<>();
+  final List<AuditEntry> entries = new CopyOnWriteArrayList<>();
+
+  void stub(AuditBatchRepository batchRepository, AuditEntryRepository entryRepository) {
+    lenient()
+        .when(batchRepository.save(any(AuditBatch.class)))
+        .thenAnswer(
+            invocation -> {
+              AuditBatch batch = invocation.getArgument(0);
+              if (batches.putIfAbsent(batch.getSequence(), batch) != null) {
+                throw new DataIntegrityViolationException("Duplicate batch sequence");
+              }
+              return batch;
+            });
+    lenient()
+        .when(batchRepository.findTopByOrderBySequenceDesc())
+        .thenAnswer(
+            invocation -> Optional.ofNullable(batches.lastEntry()).map(Map.Entry::getValue));
+    lenient()
+        .when(batchRepository.findById(anyLong()))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(batches.get(invocation.<Long>getArgument(0))));
+    lenient()
+        .when(
+            batchRepository.findBySequenceGreaterThanEqualOrderBySequenceAsc(
+                anyLong(), any(Pageable.class)))
+        .thenAnswer(
+            invocation ->
+                batches.tailMap(invocation.<Long>getArgument(0)).values().stream()
+                    .limit(invocation.<Pageable>getArgument(1).getPageSize())
+                    .toList());
+
+    lenient()
+        .when(entryRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<AuditEntry> saved =
+                  new ArrayList<>(invocation.<List<AuditEntry>>getArgument(0));
+              entries.addAll(saved);
+              return saved;
+            });
+    lenient()
+        .when(entryRepository.findFirstByLeafHash(anyString()))
+        .thenAnswer(
+            invocation ->
+                entries.stream()
+                    .filter(e -> e.getLeafHash().equals(invocation.getArgument(0)))
+                    .findFirst());
+    lenient()
+        .when(entryRepository.findByBatchSequenceOrderByLeafIndexAsc(anyLong()))
+        .thenAnswer(
+            invocation ->
+                entries.stream()
+                    .filter(e -> e.getBatchSequence().equals(invocation.getArgument(0)))
+                    .sorted((a, b) -> Integer.compare(a.getLeafIndex(), b.getLeafIndex()))
+                    .toList());
+    lenient()
+        .when(entryRepository.findByPollId(anyLong()))
+        .thenAnswer(
+            invocation ->
+                entries.stream()
+                    .filter(e -> e.getPollId().equals(invocation.getArgument(0)))
+                    .toList());
+  }
+}
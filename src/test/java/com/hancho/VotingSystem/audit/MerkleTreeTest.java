@@ -0,0 +1,36 @@
+package com.hancho.VotingSystem.audit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hancho.VotingSystem.audit.dtos.AuditedVote;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MerkleTreeTest {
+
+  @Test
+  void proofsVerifyForEveryLeafAndRejectTampering() {
+    for (int size = 1; size <= 33; size++) {
+      List<byte[]> leaves = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        leaves.add(
+            AuditChain.leafHash(
+                new AuditedVote(
+                    1L, (long) i, "yes", LocalDateTime.of(2025, 1, 1, 0, 0), "receipt")));
+      }
+
+      MerkleTree tree = MerkleTree.build(leaves);
+      for (int i = 0; i < size; i++) {
+        assertTrue(MerkleTree.verify(leaves.get(i), tree.proof(i), tree.root()));
+      }
+
+      byte[] forged =
+          AuditChain.leafHash(
+              new AuditedVote(1L, 0L, "no", LocalDateTime.of(2025, 1, 1, 0, 0), "receipt"));
+      assertFalse(MerkleTree.verify(forged, tree.proof(0), tree.root()));
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.hancho.VotingSystem.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Drives the real {@link VoteAuditService} from concurrent voters until every vote is sealed.
+ * Repositories are mocks backed by maps, so the figure is the ceiling set by queueing and hashing;
+ * database inserts of the leaf rows come on top of it. Tagged so it only runs with {@code
+ * -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ExtendWith(MockitoExtension.class)
+class VoteAuditServiceBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(VoteAuditServiceBenchmarkTest.class);
+
+  private static final int PRODUCERS = 4;
+  private static final int VOTES_PER_PRODUCER = 100_000;
+  private static final long MIN_VOTES_PER_SECOND = 10_000;
+
+  @Mock private AuditBatchRepository batchRepository;
+  @Mock private AuditEntryRepository entryRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Test
+  void sealerKeepsUpWithConcurrentVoters() throws Exception {
+    int total = PRODUCERS * VOTES_PER_PRODUCER;
+    InMemoryAuditRepositories repositories = new InMemoryAuditRepositories();
+    repositories.stub(batchRepository, entryRepository);
+    VoteAuditService service =
+        new VoteAuditService(
+            batchRepository, entryRepository, transactionManager, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(service, "batchSize", 4096);
+    ReflectionTestUtils.setField(service, "flushIntervalMs", 10L);
+    ReflectionTestUtils.setField(service, "maxPending", total);
+    ReflectionTestUtils.setField(service, "checkpointInterval", 1000);
+    ReflectionTestUtils.setField(service, "checkpointDelayMs", 60_000L);
+    service.init();
+
+    ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+    LocalDateTime castAt = LocalDateTime.now();
+    List<Future<?>> submissions = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int p = 0; p < PRODUCERS; p++) {
+      long voterBase = (long) p * VOTES_PER_PRODUCER;
+      submissions.add(
+          producers.submit(
+              () -> {
+                for (int i = 0; i < VOTES_PER_PRODUCER; i++) {
+                  assertTrue(
+                      service
+                          .record((long) (i % 100), voterBase + i, "option-" + i % 5, castAt)
+                          .isPresent());
+                }
+              }));
+    }
+    for (Future<?> submission : submissions) {
+      submission.get();
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+    while (repositories.entries.size() < total && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    long elapsedNanos = System.nanoTime() - start;
+
+    producers.shutdown();
+    assertTrue(producers.awaitTermination(10, TimeUnit.SECONDS));
+    service.shutdown();
+
+    assertEquals(total, repositories.entries.size());
+    assertEquals(0, service.pendingCount());
+    assertTrue(service.verifyPoll(7L).valid());
+
+    double votesPerSecond = total / (elapsedNanos / 1_000_000_000.0);
+    logger.info(
+        "VoteAuditService sealed {} votes into {} batches in {} ms ({} votes/s)",
+        total,
+        repositories.batches.size(),
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+        Math.round(votesPerSecond));
+    assertTrue(
+        votesPerSecond >= MIN_VOTES_PER_SECOND,
+        "sealed only " + Math.round(votesPerSecond) + " votes/s");
+  }
+}
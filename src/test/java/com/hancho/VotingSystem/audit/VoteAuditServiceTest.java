@@ -0,0 +1,155 @@
+package com.hancho.VotingSystem.audit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hancho.VotingSystem.audit.dtos.AuditedVote;
+import com.hancho.VotingSystem.audit.dtos.VoteVerification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class VoteAuditServiceTest {
+
+  private static final LocalDateTime CAST_AT = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+  @Mock private AuditBatchRepository batchRepository;
+  @Mock private AuditEntryRepository entryRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final InMemoryAuditRepositories repositories = new InMemoryAuditRepositories();
+  private VoteAuditService service;
+
+  @BeforeEach
+  void setUp() {
+    repositories.stub(batchRepository, entryRepository);
+    service =
+        new VoteAuditService(
+            batchRepository, entryRepository, transactionManager, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(service, "batchSize", 4);
+    ReflectionTestUtils.setField(service, "flushIntervalMs", 3_600_000L);
+    ReflectionTestUtils.setField(service, "maxPending", 100);
+    ReflectionTestUtils.setField(service, "checkpointInterval", 1);
+    ReflectionTestUtils.setField(service, "checkpointDelayMs", 3_600_000L);
+    service.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void intactChainVerifies() {
+    List<AuditedVote> votes = sealThreeBatches();
+
+    VoteVerification verification = service.verifyVote(votes.get(1));
+    assertTrue(verification.included());
+    assertTrue(verification.chainIntact());
+    assertTrue(service.verifyPoll(1L).valid());
+  }
+
+  @Test
+  void guessingTheChoiceWithoutTheReceiptFindsNothing() {
+    AuditedVote cast = sealThreeBatches().get(1);
+
+    for (String choice : List.of("yes", "no")) {
+      AuditedVote guess =
+          new AuditedVote(cast.pollId(), cast.voterId(), choice, cast.castAt(), null);
+      assertFalse(service.verifyVote(guess).included());
+    }
+  }
+
+  @Test
+  void consistentlyRewrittenBatchIsCaughtByItsSuccessor() {
+    AuditedVote forged = rewriteFirstBatch(sealThreeBatches().get(1));
+
+    VoteVerification verification = service.verifyVote(forged);
+    assertTrue(verification.included());
+    assertFalse(verification.chainIntact());
+    assertFalse(service.verifyPoll(1L).valid());
+  }
+
+  @Test
+  void rewrittenBatchIsNeverCheckpointed() {
+    AuditedVote cast = sealThreeBatches().get(1);
+    AuditedVote forged = rewriteFirstBatch(cast);
+
+    // Only batch 2's link exposes the rewrite, so batch 1 must never become a checkpoint.
+    service.extendCheckpoints();
+
+    assertFalse(service.verifyVote(forged).chainIntact());
+  }
+
+  @Test
+  void consistentlyRewrittenHeadIsCaughtByItsCheckpoint() {
+    AuditedVote cast = sealThreeBatches().get(8);
+    service.extendCheckpoints();
+
+    // Batch 3 is the head, so no successor links to it; only the checkpoint still remembers it.
+    AuditedVote forged = new AuditedVote(1L, 8L, "no", CAST_AT, cast.receipt());
+    repositories.entries.get(8).setLeafHash(AuditChain.hex(AuditChain.leafHash(forged)));
+
+    List<byte[]> leaves = new ArrayList<>();
+    for (AuditEntry e : repositories.entries.subList(8, 12)) {
+      leaves.add(AuditChain.unhex(e.getLeafHash()));
+    }
+    AuditBatch batch = repositories.batches.get(3L);
+    batch.setMerkleRoot(AuditChain.hex(MerkleTree.build(leaves).root()));
+    batch.setChainHash(AuditChain.chainHash(3, batch.getPreviousHash(), batch.getMerkleRoot()));
+
+    VoteVerification verification = service.verifyVote(forged);
+    assertTrue(verification.included());
+    assertFalse(verification.chainIntact());
+  }
+
+  @Test
+  void recordRefusesVotesOnceTheBacklogIsFull() {
+    ReflectionTestUtils.setField(service, "maxPending", 2);
+    assertTrue(record(1).isPresent());
+    assertTrue(record(2).isPresent());
+    assertFalse(record(3).isPresent());
+
+    service.flush();
+    assertTrue(record(3).isPresent());
+  }
+
+  private List<AuditedVote> sealThreeBatches() {
+    List<AuditedVote> votes = new ArrayList<>();
+    for (long voter = 0; voter < 12; voter++) {
+      votes.add(new AuditedVote(1L, voter, "yes", CAST_AT, record(voter).orElseThrow()));
+    }
+    service.flush();
+    return votes;
+  }
+
+  // Swaps a leaf in batch 1 and recomputes its root and chain hash so batch 1 is self-consistent.
+  private AuditedVote rewriteFirstBatch(AuditedVote cast) {
+    AuditedVote forged = new AuditedVote(1L, 1L, "no", CAST_AT, cast.receipt());
+    repositories.entries.get(1).setLeafHash(AuditChain.hex(AuditChain.leafHash(forged)));
+
+    List<byte[]> leaves = new ArrayList<>();
+    for (AuditEntry e : repositories.entries.subList(0, 4)) {
+      leaves.add(AuditChain.unhex(e.getLeafHash()));
+    }
+    AuditBatch batch = repositories.batches.get(1L);
+    batch.setMerkleRoot(AuditChain.hex(MerkleTree.build(leaves).root()));
+    batch.setChainHash(AuditChain.chainHash(1, batch.getPreviousHash(), batch.getMerkleRoot()));
+    return forged;
+  }
+
+  private Optional<String> record(long voterId) {
+    return service.record(1L, voterId, "yes", CAST_AT);
+  }
+}
@@ -0,0 +1,99 @@
+package com.hancho.VotingSystem.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IdempotencyFilterTest {
+
+  private final AtomicInteger executions = new AtomicInteger();
+  private IdempotencyFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    IdempotencyStore store = new IdempotencyStore(null, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(store, "maxEntries", 100);
+    ReflectionTestUtils.setField(store, "ttlSeconds", 600L);
+    ReflectionTestUtils.setField(store, "waitTimeoutMs", 5_000L);
+    ReflectionTestUtils.setField(store, "maxWaiters", 32);
+
+    filter = new IdempotencyFilter(store);
+    ReflectionTestUtils.setField(filter, "paths", new String[] {"/auth/google"});
+    ReflectionTestUtils.setField(filter, "persistentPaths", new String[0]);
+    ReflectionTestUtils.setField(filter, "maxBodyBytes", 64);
+  }
+
+  @Test
+  void retryIsReplayedWithoutRunningTheHandler() throws Exception {
+    MockHttpServletResponse first = send("key-1", "{\"googleToken\":\"t\"}", echoHandler());
+    MockHttpServletResponse retry = send("key-1", "{\"googleToken\":\"t\"}", echoHandler());
+
+    assertEquals(1, executions.get());
+    assertEquals(200, retry.getStatus());
+    assertEquals(first.getContentAsString(), retry.getContentAsString());
+    assertEquals("application/json", retry.getContentType());
+    assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+  }
+
+  @Test
+  void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+    send("key-1", "{\"googleToken\":\"t\"}", echoHandler());
+    MockHttpServletResponse reused = send("key-1", "{\"googleToken\":\"u\"}", echoHandler());
+
+    assertEquals(1, executions.get());
+    assertEquals(422, reused.getStatus());
+  }
+
+  @Test
+  void oversizedBodyIsRejected() throws Exception {
+    MockHttpServletResponse response = send("key-1", "x".repeat(65), echoHandler());
+
+    assertEquals(0, executions.get());
+    assertEquals(413, response.getStatus());
+  }
+
+  @Test
+  void sendErrorResponsesAreNotStored() throws Exception {
+    FilterChain failing =
+        (request, response) -> {
+          executions.incrementAndGet();
+          ((HttpServletResponse) response).sendError(400, "Bad token");
+        };
+    send("key-1", "{}", failing);
+    send("key-1", "{}", failing);
+
+    assertEquals(2, executions.get());
+  }
+
+  private FilterChain echoHandler() {
+    return (request, response) -> {
+      int n = executions.incrementAndGet();
+      String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+      response.setContentType("application/json");
+      response.getWriter().write("{\"n\":" + n + ",\"echo\":" + body.length() + "}");
+    };
+  }
+
+  private MockHttpServletResponse send(String key, String body, FilterChain chain)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/google");
+    request.addHeader(IdempotencyFilter.HEADER, key);
+    request.setContentType("application/json");
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+}
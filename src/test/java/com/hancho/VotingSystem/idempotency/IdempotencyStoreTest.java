@@ -0,0 +1,189 @@
+package com.hancho.VotingSystem.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+import com.hancho.VotingSystem.idempotency.IdempotencyStore.Claim;
+import com.hancho.VotingSystem.idempotency.IdempotencyStore.Outcome;
+import com.hancho.VotingSystem.idempotency.dtos.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+  private static final StoredResponse CREATED =
+      new StoredResponse(201, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+  @Mock private IdempotencyRecordRepository repository;
+
+  private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+  private MeterRegistry registry;
+  private IdempotencyStore store;
+
+  @BeforeEach
+  void setUp() {
+    lenient()
+        .when(repository.save(any(IdempotencyRecord.class)))
+        .thenAnswer(
+            invocation -> {
+              IdempotencyRecord record = invocation.getArgument(0);
+              records.put(record.getKeyHash(), record);
+              return record;
+            });
+    lenient()
+        .when(repository.findById(anyString()))
+        .thenAnswer(invocation -> Optional.ofNullable(records.get(invocation.getArgument(0))));
+
+    registry = new SimpleMeterRegistry();
+    store = newStore(registry, 100);
+  }
+
+  @Test
+  void concurrentDuplicateWaitsAndGetsTheReplayedResponse() throws Exception {
+    assertEquals(Outcome.EXECUTE, store.claim("k", "body", false).outcome());
+
+    CompletableFuture<Claim> duplicate =
+        CompletableFuture.supplyAsync(() -> store.claim("k", "body", false));
+    awaitWaits(1);
+    assertFalse(duplicate.isDone());
+
+    store.complete("k", CREATED, false);
+
+    Claim replay = duplicate.get(5, TimeUnit.SECONDS);
+    assertEquals(Outcome.REPLAY, replay.outcome());
+    assertSame(CREATED, replay.response());
+    assertEquals(Outcome.REPLAY, store.claim("k", "body", false).outcome());
+    assertEquals(
+        2, registry.get("idempotency.requests").tag("outcome", "replayed").counter().count());
+  }
+
+  @Test
+  void reusedKeyWithDifferentBodyConflicts() {
+    assertEquals(Outcome.EXECUTE, store.claim("k", "body", false).outcome());
+    store.complete("k", CREATED, false);
+
+    assertEquals(Outcome.CONFLICT, store.claim("k", "other body", false).outcome());
+  }
+
+  @Test
+  void waiterTakesOverAnAbandonedEntry() throws Exception {
+    assertEquals(Outcome.EXECUTE, store.claim("k", "body", false).outcome());
+
+    CompletableFuture<Claim> duplicate =
+        CompletableFuture.supplyAsync(() -> store.claim("k", "body", false));
+    awaitWaits(1);
+
+    store.abandon("k");
+
+    assertEquals(Outcome.EXECUTE, duplicate.get(5, TimeUnit.SECONDS).outcome());
+  }
+
+  @Test
+  void duplicateGivesUpAfterTheWaitTimeout() {
+    ReflectionTestUtils.setField(store, "waitTimeoutMs", 50L);
+    assertEquals(Outcome.EXECUTE, store.claim("k", "body", false).outcome());
+
+    assertEquals(Outcome.IN_PROGRESS, store.claim("k", "body", false).outcome());
+  }
+
+  @Test
+  void duplicatesBeyondTheWaiterCapAreTurnedAwayImmediately() throws Exception {
+    ReflectionTestUtils.setField(store, "maxWaiters", 1);
+    assertEquals(Outcome.EXECUTE, store.claim("k", "body", false).outcome());
+
+    CompletableFuture<Claim> waiter =
+        CompletableFuture.supplyAsync(() -> store.claim("k", "body", false));
+    awaitWaits(1);
+
+    long start = System.nanoTime();
+    assertEquals(Outcome.IN_PROGRESS, store.claim("k", "body", false).outcome());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "waited past the cap");
+
+    store.complete("k", CREATED, false);
+    assertEquals(Outcome.REPLAY, waiter.get(5, TimeUnit.SECONDS).outcome());
+    assertEquals(Outcome.REPLAY, store.claim("k", "body", false).outcome());
+  }
+
+  @Test
+  void evictionKeepsTheStoreWithinMaxEntries() {
+    registry = new SimpleMeterRegistry();
+    store = newStore(registry, 3);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Outcome.EXECUTE, store.claim("k" + i, "body", false).outcome());
+      store.complete("k" + i, CREATED, false);
+      assertTrue(entries() <= 3);
+    }
+
+    // The oldest completed keys made room, the newest are still replayed.
+    assertEquals(Outcome.REPLAY, store.claim("k9", "body", false).outcome());
+    assertEquals(Outcome.EXECUTE, store.claim("k0", "body", false).outcome());
+  }
+
+  @Test
+  void requestsBypassTheStoreWhenEveryEntryIsInFlight() {
+    registry = new SimpleMeterRegistry();
+    store = newStore(registry, 2);
+    assertEquals(Outcome.EXECUTE, store.claim("a", "body", false).outcome());
+    assertEquals(Outcome.EXECUTE, store.claim("b", "body", false).outcome());
+
+    assertEquals(Outcome.BYPASS, store.claim("c", "body", false).outcome());
+    assertEquals(2, entries());
+  }
+
+  @Test
+  void persistedResponseIsReplayedByANewStore() {
+    assertEquals(Outcome.EXECUTE, store.claim("vote", "body", true).outcome());
+    store.complete("vote", CREATED, true);
+    assertEquals(1, records.size());
+
+    IdempotencyStore restarted = newStore(new SimpleMeterRegistry(), 100);
+    Claim replay = restarted.claim("vote", "body", true);
+    assertEquals(Outcome.REPLAY, replay.outcome());
+    assertEquals(201, replay.response().status());
+    assertArrayEquals(CREATED.body(), replay.response().body());
+
+    IdempotencyStore another = newStore(new SimpleMeterRegistry(), 100);
+    assertEquals(Outcome.CONFLICT, another.claim("vote", "other body", true).outcome());
+  }
+
+  private IdempotencyStore newStore(MeterRegistry meterRegistry, int maxEntries) {
+    IdempotencyStore created = new IdempotencyStore(repository, meterRegistry);
+    ReflectionTestUtils.setField(created, "maxEntries", maxEntries);
+    ReflectionTestUtils.setField(created, "ttlSeconds", 600L);
+    ReflectionTestUtils.setField(created, "persistentTtlSeconds", 86_400L);
+    ReflectionTestUtils.setField(created, "waitTimeoutMs", 5_000L);
+    ReflectionTestUtils.setField(created, "maxWaiters", 32);
+    return created;
+  }
+
+  private double entries() {
+    return registry.get("idempotency.store.entries").gauge().value();
+  }
+
+  private void awaitWaits(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (registry.get("idempotency.waits").counter().count() < expected) {
+      assertTrue(System.nanoTime() < deadline, "duplicate never started waiting");
+      Thread.sleep(1);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.hancho.VotingSystem.poll;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PollLifecycleSchedulerTest {
+
+  private PollsRepository repository;
+  private PollLifecycleService lifecycleService;
+  private PollLifecycleScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(PollsRepository.class);
+    lifecycleService = mock(PollLifecycleService.class);
+    scheduler = new PollLifecycleScheduler(repository, lifecycleService, 1);
+    ReflectionTestUtils.setField(scheduler, "tickMillis", 10L);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  void overduePollIsOpenedAndClosedAtStartup() {
+    LocalDateTime opensAt = LocalDateTime.now().minusHours(2);
+    LocalDateTime closesAt = LocalDateTime.now().minusHours(1);
+    when(repository.findByStatusIn(List.of(PollStatus.SCHEDULED, PollStatus.OPEN)))
+        .thenReturn(List.of(poll(1L, opensAt, closesAt)));
+
+    scheduler.start();
+
+    InOrder order = inOrder(lifecycleService);
+    order.verify(lifecycleService, timeout(2_000)).open(1L, opensAt);
+    order.verify(lifecycleService, timeout(2_000)).close(1L, closesAt);
+  }
+
+  @Test
+  void pollScheduledWhileIdleFiresOnTime() {
+    when(repository.findByStatusIn(List.of(PollStatus.SCHEDULED, PollStatus.OPEN)))
+        .thenReturn(List.of());
+    scheduler.start();
+
+    // The driver is parked on an empty wheel; scheduling must wake it.
+    LocalDateTime closesAt = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(200));
+    Polls poll = poll(2L, LocalDateTime.now().minusHours(1), closesAt);
+    poll.setStatus(PollStatus.OPEN);
+    AtomicReference<LocalDateTime> firedAt = new AtomicReference<>();
+    when(lifecycleService.close(2L, closesAt))
+        .thenAnswer(
+            invocation -> {
+              firedAt.set(LocalDateTime.now());
+              return true;
+            });
+    scheduler.schedule(poll);
+
+    verify(lifecycleService, timeout(2_000)).close(2L, closesAt);
+    assertFalse(firedAt.get().isBefore(closesAt), "closed before its deadline");
+  }
+
+  @Test
+  void retryDelayBacksOffExponentiallyUpToFiveMinutes() {
+    long cap = TimeUnit.MINUTES.toMillis(5);
+    for (int i = 0; i < 1_000; i++) {
+      assertWithin(PollLifecycleScheduler.retryDelayMillis(0), 500, 1_000);
+      assertWithin(PollLifecycleScheduler.retryDelayMillis(3), 4_000, 8_000);
+      assertWithin(PollLifecycleScheduler.retryDelayMillis(20), cap / 2, cap);
+      assertWithin(PollLifecycleScheduler.retryDelayMillis(Integer.MAX_VALUE), cap / 2, cap);
+    }
+  }
+
+  private static Polls poll(Long id, LocalDateTime opensAt, LocalDateTime closesAt) {
+    Polls poll = new Polls("Lunch", opensAt, closesAt);
+    poll.setId(id);
+    return poll;
+  }
+
+  private static void assertWithin(long value, long min, long max) {
+    assertTrue(value >= min && value <= max, value + " not in [" + min + ", " + max + "]");
+  }
+}
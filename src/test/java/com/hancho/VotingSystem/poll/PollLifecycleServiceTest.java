@@ -0,0 +1,98 @@
+package com.hancho.VotingSystem.poll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.hancho.VotingSystem.poll.dtos.PollClosedEvent;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Runs the conditional updates against an embedded database. Two service instances share the
+ * repository and stand in for two nodes firing the same timer.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class PollLifecycleServiceTest {
+
+  private static final LocalDateTime OPENS_AT = LocalDateTime.of(2025, 1, 1, 9, 0);
+  private static final LocalDateTime CLOSES_AT = LocalDateTime.of(2025, 1, 1, 17, 0);
+
+  @Autowired private PollsRepository repository;
+  @Autowired private TestEntityManager entityManager;
+
+  private ApplicationEventPublisher publisherA;
+  private ApplicationEventPublisher publisherB;
+  private PollLifecycleService nodeA;
+  private PollLifecycleService nodeB;
+
+  @BeforeEach
+  void setUp() {
+    publisherA = mock(ApplicationEventPublisher.class);
+    publisherB = mock(ApplicationEventPublisher.class);
+    nodeA = new PollLifecycleService(repository, publisherA);
+    nodeB = new PollLifecycleService(repository, publisherB);
+  }
+
+  @Test
+  void eachTransitionHappensOnceAcrossNodes() {
+    Long pollId = persistPoll();
+
+    assertTrue(nodeA.open(pollId, OPENS_AT));
+    assertFalse(nodeB.open(pollId, OPENS_AT));
+    assertEquals(PollStatus.OPEN, reload(pollId).getStatus());
+
+    assertFalse(nodeA.close(pollId, CLOSES_AT.minusMinutes(1)));
+    assertTrue(nodeB.close(pollId, CLOSES_AT));
+    assertFalse(nodeA.close(pollId, CLOSES_AT));
+    assertEquals(PollStatus.CLOSED, reload(pollId).getStatus());
+
+    // Only the node whose update won announces the close.
+    verify(publisherB).publishEvent(new PollClosedEvent(pollId));
+    verify(publisherA, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void overdueScheduledPollClosesDirectlyAtItsScheduledTime() {
+    Long pollId = persistPoll();
+
+    // Both deadlines passed while every node was down; the close fires hours late.
+    assertTrue(nodeA.close(pollId, CLOSES_AT.plusHours(3)));
+
+    Polls poll = reload(pollId);
+    assertEquals(PollStatus.CLOSED, poll.getStatus());
+    assertEquals(CLOSES_AT, poll.getClosedAt());
+    assertFalse(nodeB.open(pollId, OPENS_AT));
+  }
+
+  @Test
+  void transitionsBeforeTheirTimeDoNothing() {
+    Long pollId = persistPoll();
+
+    assertFalse(nodeA.open(pollId, OPENS_AT.minusSeconds(1)));
+    assertFalse(nodeA.close(pollId, CLOSES_AT.minusSeconds(1)));
+
+    Polls poll = reload(pollId);
+    assertEquals(PollStatus.SCHEDULED, poll.getStatus());
+    assertNull(poll.getClosedAt());
+  }
+
+  private Long persistPoll() {
+    return entityManager.persistAndFlush(new Polls("Lunch", OPENS_AT, CLOSES_AT)).getId();
+  }
+
+  private Polls reload(Long pollId) {
+    entityManager.clear();
+    return entityManager.find(Polls.class, pollId);
+  }
+}
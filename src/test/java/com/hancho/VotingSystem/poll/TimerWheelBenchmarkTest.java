@@ -0,0 +1,162 @@
+package com.hancho.VotingSystem.poll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives {@link TimerWheel} with a synthetic clock: 100k polls with an open and a close time
+ * spread over a day, advanced one tick at a time, as the scheduler's driver thread would.
+ */
+class TimerWheelBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimerWheelBenchmarkTest.class);
+
+  private static final int POLLS = 100_000;
+  private static final long TICK_MILLIS = 10;
+  private static final long HORIZON_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  private record Deadline(long pollId, long atMillis) {}
+
+  @Test
+  void firesHundredThousandPollsOnTheirTick() {
+    Random random = new Random(42);
+    TimerWheel<Deadline> wheel = new TimerWheel<>(TICK_MILLIS, 0);
+
+    long scheduleStart = System.nanoTime();
+    for (long pollId = 0; pollId < POLLS; pollId++) {
+      long opensAt = 1 + (long) (random.nextDouble() * (HORIZON_MILLIS - 1));
+      long closesAt = opensAt + (long) (random.nextDouble() * (HORIZON_MILLIS - opensAt));
+      wheel.schedule(opensAt, new Deadline(pollId, opensAt));
+      wheel.schedule(closesAt, new Deadline(pollId, closesAt));
+    }
+    long scheduleNanos = System.nanoTime() - scheduleStart;
+    assertEquals(2 * POLLS, wheel.size());
+
+    long fired = 0;
+    long maxLatenessMillis = 0;
+    long runStart = System.nanoTime();
+    for (long now = TICK_MILLIS; now <= HORIZON_MILLIS + TICK_MILLIS; now += TICK_MILLIS) {
+      for (Deadline deadline : wheel.advance(now)) {
+        long lateness = now - deadline.atMillis();
+        assertTrue(lateness >= 0 && lateness < TICK_MILLIS, "fired outside its tick");
+        maxLatenessMillis = Math.max(maxLatenessMillis, lateness);
+        fired++;
+      }
+    }
+    long runNanos = System.nanoTime() - runStart;
+
+    assertEquals(2L * POLLS, fired);
+    assertEquals(0, wheel.size());
+    logger.info(
+        "Scheduled {} transitions in {} ms; advanced {} ticks (one simulated day) in {} ms,"
+            + " max lateness {} ms",
+        2 * POLLS,
+        TimeUnit.NANOSECONDS.toMillis(scheduleNanos),
+        HORIZON_MILLIS / TICK_MILLIS,
+        TimeUnit.NANOSECONDS.toMillis(runNanos),
+        maxLatenessMillis);
+  }
+
+  @Test
+  void overdueAndFarFutureDeadlinesFireCorrectly() {
+    TimerWheel<String> wheel = new TimerWheel<>(TICK_MILLIS, 1_000);
+    wheel.schedule(0, "overdue");
+    assertEquals(List.of("overdue"), wheel.advance(1_000));
+
+    long farFuture = 1_000 + TimeUnit.DAYS.toMillis(400);
+    wheel.schedule(farFuture, "far");
+    assertEquals(List.of(), wheel.advance(farFuture - 1));
+    assertEquals(List.of("far"), wheel.advance(farFuture));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void nextEventMillisSkipsIdleTicks() {
+    TimerWheel<Long> wheel = new TimerWheel<>(TICK_MILLIS, 0);
+    assertEquals(Long.MAX_VALUE, wheel.nextEventMillis());
+
+    long[] deadlines = {
+      TimeUnit.SECONDS.toMillis(3), TimeUnit.HOURS.toMillis(2), TimeUnit.DAYS.toMillis(30)
+    };
+    for (long deadline : deadlines) {
+      wheel.schedule(deadline, deadline);
+    }
+
+    // Wake only when the wheel says so, as the driver does: a handful of cascades per deadline
+    // instead of one wake-up per 10 ms tick.
+    List<Long> fired = new ArrayList<>();
+    int wakeUps = 0;
+    while (wheel.size() > 0) {
+      long now = wheel.nextEventMillis();
+      for (long deadline : wheel.advance(now)) {
+        assertEquals(deadline, now, "fired off its tick");
+        fired.add(deadline);
+      }
+      wakeUps++;
+    }
+
+    assertEquals(List.of(deadlines[0], deadlines[1], deadlines[2]), fired);
+    assertTrue(wakeUps <= deadlines.length * 6, "woke " + wakeUps + " times");
+    assertEquals(Long.MAX_VALUE, wheel.nextEventMillis());
+
+    wheel.schedule(0, 0L);
+    assertTrue(wheel.nextEventMillis() <= deadlines[2]);
+    assertEquals(List.of(0L), wheel.advance(wheel.nextEventMillis()));
+  }
+
+  @Test
+  void deadlinesBeyondTheTopLevelWaitInOverflow() {
+    // Six levels of 64 slots cover 64^6 ticks; these deadlines lie beyond that range.
+    long range = 1L << 36;
+    TimerWheel<Long> wheel = new TimerWheel<>(1, 0);
+    long[] deadlines = {range + 5, 3 * range + 12_345, 3 * range + 12_346, 70 * range};
+    for (long deadline : deadlines) {
+      wheel.schedule(deadline, deadline);
+    }
+
+    for (long deadline : deadlines) {
+      assertEquals(List.of(), wheel.advance(deadline - 1));
+      assertEquals(List.of(deadline), wheel.advance(deadline));
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void largeJumpsFireEveryDeadlineExactlyOnceAndNeverEarly() {
+    Random random = new Random(7);
+    TimerWheel<long[]> wheel = new TimerWheel<>(1, 0);
+    List<long[]> scheduled = new ArrayList<>();
+    long now = 0;
+
+    for (int step = 0; step < 5_000; step++) {
+      for (int i = random.nextInt(4); i > 0; i--) {
+        long span =
+            random.nextInt(5) == 0
+                ? (long) (random.nextDouble() * (1L << (30 + random.nextInt(12))))
+                : random.nextInt(100_000);
+        long[] timeout = {now - 50 + span, 0};
+        scheduled.add(timeout);
+        wheel.schedule(timeout[0], timeout);
+      }
+
+      now += random.nextInt(3) == 0 ? random.nextInt(1 << 30) : random.nextInt(200);
+      for (long[] timeout : wheel.advance(now)) {
+        assertEquals(0, timeout[1], "fired twice");
+        assertTrue(timeout[0] <= now, "fired early");
+        timeout[1] = 1;
+      }
+    }
+
+    for (long[] timeout : scheduled) {
+      assertTrue(timeout[1] == 1 || timeout[0] > now, "missed a due deadline");
+    }
+  }
+}